@@ -0,0 +1,15 @@
+package ca.ualberta.cs.cmput402.ghdow;
+
+import org.kohsuke.github.GHUser;
+
+public class GHUserWrapper {
+    protected GHUser user;
+
+    public GHUserWrapper(GHUser user) {
+        this.user = user;
+    }
+
+    public long getId() {
+        return user.getId();
+    }
+}
@@ -1,17 +1,26 @@
 package ca.ualberta.cs.cmput402.ghdow;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
 
 import org.kohsuke.github.*;
 
 import java.text.DateFormatSymbols;
 import java.util.*;
+import java.util.concurrent.*;
 
 public class MyGithub {
     protected GitHub gitHub;
     protected GHPerson myself;
     protected Map<String, GHRepository> myRepos;
     private List<GHCommit> myCommits;
+    // Executor for the collaborator crawl; when null a fixed pool is created per crawl
+    protected Executor collaboratorExecutor;
+    private List<GHRepository> collaboratorRepos;
+    private int totalCollaborators;
+    private LongHashSet uniqueCollaborators;
+    private static final int COLLABORATOR_THREADS = 8;
+    private static final int COLLABORATOR_PAGE_SIZE = 100;
     public MyGithub(String token) throws IOException {
         gitHub = new GitHubBuilder().withOAuthToken(token).build();
     }
@@ -206,11 +215,96 @@ public class MyGithub {
         if (repos.isEmpty()) {
             return 0.0;
         }
-        int totalCollaborators = 0;
-        for (GHRepository repo : repos) {
-            totalCollaborators += repo.listCollaborators().toList().size();
+        loadCollaborators(repos);
+        return totalCollaborators / (double)collaboratorRepos.size();
+    }
+
+    /**
+     * 7: Number of Distinct Collaborators Across Repos
+     * @return
+     * @throws IOException
+     */
+    public int getUniqueCollaborators() throws IOException {
+        List<GHRepository> repos = getRepos();
+        if (repos.isEmpty()) {
+            return 0;
         }
-        return totalCollaborators / (double)repos.size();
+        loadCollaborators(repos);
+        return uniqueCollaborators.size();
+    }
+
+    // Pages every repo's collaborators concurrently, keeping only the user IDs,
+    // so both collaborator metrics come out of a single crawl. The result is
+    // reused until the set of repos changes.
+    private void loadCollaborators(List<GHRepository> repos) throws IOException {
+        if (uniqueCollaborators != null && repos.equals(collaboratorRepos)) {
+            return;
+        }
+        ExecutorService pool = null;
+        Executor executor = collaboratorExecutor;
+        if (executor == null) {
+            pool = Executors.newFixedThreadPool(Math.min(repos.size(), COLLABORATOR_THREADS));
+            executor = pool;
+        }
+        try {
+            List<FutureTask<LongHashSet>> tasks = new ArrayList<>();
+            for (GHRepository repo : repos) {
+                FutureTask<LongHashSet> task = new FutureTask<>(() -> getCollaboratorIds(repo));
+                tasks.add(task);
+                executor.execute(task);
+            }
+            int total = 0;
+            LongHashSet unique = new LongHashSet();
+            for (FutureTask<LongHashSet> task : tasks) {
+                LongHashSet ids = task.get();
+                total += ids.size();
+                unique.addAll(ids);
+            }
+            collaboratorRepos = repos;
+            totalCollaborators = total;
+            uniqueCollaborators = unique;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while loading collaborators");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("Failed to load collaborators", cause);
+        } finally {
+            if (pool != null) {
+                pool.shutdownNow();
+            }
+        }
+    }
+
+    private LongHashSet getCollaboratorIds(GHRepository repo) throws IOException {
+        LongHashSet ids = new LongHashSet();
+        try {
+            for (GHUser user : repo.listCollaborators().withPageSize(COLLABORATOR_PAGE_SIZE)) {
+                ids.add(newUserWrapper(user).getId());
+            }
+        } catch (GHException e) {
+            // Paging wraps network failures, unwrap them like PagedIterable.toList() does
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw e;
+        }
+        return ids;
+    }
+
+    // Protected so tests can supply user IDs on the crawl's worker threads,
+    // where mockConstruction does not apply
+    protected GHUserWrapper newUserWrapper(GHUser user) {
+        return new GHUserWrapper(user);
     }
 
     public String getMostPopularDayWithRobustness() throws IOException {
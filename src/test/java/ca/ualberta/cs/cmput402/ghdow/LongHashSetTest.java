@@ -0,0 +1,127 @@
+package ca.ualberta.cs.cmput402.ghdow;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LongHashSetTest {
+    @Test
+    void testEmpty() {
+        LongHashSet set = new LongHashSet();
+        assertTrue(set.isEmpty());
+        assertEquals(0, set.size());
+        assertFalse(set.contains(0));
+        assertFalse(set.contains(1));
+    }
+
+    @Test
+    void testZero() {
+        // 0 is the empty slot marker, so it is stored separately
+        LongHashSet set = new LongHashSet();
+        assertTrue(set.add(0));
+        assertFalse(set.add(0));
+        assertTrue(set.contains(0));
+        assertEquals(1, set.size());
+        assertFalse(set.isEmpty());
+    }
+
+    @Test
+    void testDuplicates() {
+        LongHashSet set = new LongHashSet();
+        assertTrue(set.add(42));
+        assertTrue(set.add(-42));
+        assertFalse(set.add(42));
+        assertFalse(set.add(-42));
+        assertEquals(2, set.size());
+        assertTrue(set.contains(42));
+        assertTrue(set.contains(-42));
+        assertFalse(set.contains(43));
+    }
+
+    @Test
+    void testGrowth() {
+        // Starts with 16 slots, so this goes through several resizes
+        LongHashSet set = new LongHashSet();
+        final int VALUES = 10000;
+        for (long i = 0; i < VALUES; i++) {
+            assertTrue(set.add(i * 1024));
+        }
+        assertEquals(VALUES, set.size());
+        for (long i = 0; i < VALUES; i++) {
+            assertTrue(set.contains(i * 1024));
+            assertFalse(set.add(i * 1024));
+        }
+        assertFalse(set.contains(VALUES * 1024L));
+        assertEquals(VALUES, set.size());
+    }
+
+    @Test
+    void testExpectedSize() {
+        LongHashSet set = new LongHashSet(1000);
+        for (long i = 1; i <= 1000; i++) {
+            set.add(i);
+        }
+        assertEquals(1000, set.size());
+        for (long i = 1; i <= 1000; i++) {
+            assertTrue(set.contains(i));
+        }
+
+        LongHashSet tiny = new LongHashSet(0);
+        tiny.add(Long.MAX_VALUE);
+        tiny.add(Long.MIN_VALUE);
+        assertTrue(tiny.contains(Long.MAX_VALUE));
+        assertTrue(tiny.contains(Long.MIN_VALUE));
+        assertEquals(2, tiny.size());
+    }
+
+    @Test
+    void testExpectedSizeOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> new LongHashSet(-1));
+        assertThrows(IllegalArgumentException.class, () -> new LongHashSet((1 << 29) + 1));
+        assertThrows(IllegalArgumentException.class, () -> new LongHashSet(Integer.MAX_VALUE));
+    }
+
+    @Test
+    void testMatchesHashSet() {
+        LongHashSet set = new LongHashSet();
+        Set<Long> expected = new HashSet<>();
+        Random random = new Random(402);
+        for (int i = 0; i < 50000; i++) {
+            // Small range so we get plenty of duplicates and probe collisions
+            long value = random.nextInt(20000) - 100;
+            assertEquals(expected.add(value), set.add(value));
+        }
+        assertEquals(expected.size(), set.size());
+        for (long value : expected) {
+            assertTrue(set.contains(value));
+        }
+    }
+
+    @Test
+    void testAddAll() {
+        LongHashSet first = new LongHashSet();
+        first.add(0);
+        first.add(1);
+        first.add(2);
+        LongHashSet second = new LongHashSet();
+        second.add(2);
+        second.add(3);
+
+        first.addAll(second);
+        assertEquals(4, first.size());
+        for (long i = 0; i <= 3; i++) {
+            assertTrue(first.contains(i));
+        }
+
+        // Zero is carried over too
+        LongHashSet merged = new LongHashSet();
+        merged.addAll(first);
+        assertEquals(4, merged.size());
+        assertTrue(merged.contains(0));
+
+        merged.addAll(new LongHashSet());
+        assertEquals(4, merged.size());
+    }
+}
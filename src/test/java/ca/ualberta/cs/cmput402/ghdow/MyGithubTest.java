@@ -9,6 +9,7 @@ import org.mockito.junit.MockitoJUnitRunner;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -265,27 +266,186 @@ public class MyGithubTest {
         MyGithub my = new MyGithub("fakeToken");
         my.gitHub = mock(GitHub.class);
         my.myRepos = new HashMap<>();
+        // mockConstruction only applies to the current thread, so run the
+        // crawl here instead of on a thread pool
+        my.collaboratorExecutor = Runnable::run;
 
         GHRepository repo1 = mock(GHRepository.class);
         GHRepository repo2 = mock(GHRepository.class);
         my.myRepos.put("repo1", repo1);
         my.myRepos.put("repo2", repo2);
 
-        List<GHUser> collab1 = Arrays.asList(mock(GHUser.class), mock(GHUser.class));
-        List<GHUser> collab2 = Collections.singletonList(mock(GHUser.class));
-        PagedIterable<GHUser> pagedCollab1 = mock(PagedIterable.class);
-        PagedIterable<GHUser> pagedCollab2 = mock(PagedIterable.class);
-        when(pagedCollab1.toList()).thenReturn(collab1);
-        when(pagedCollab2.toList()).thenReturn(collab2);
+        Map<GHUser, Long> userIds = new HashMap<>();
+        List<GHUser> collab1 = Arrays.asList(mockUser(userIds, 1), mockUser(userIds, 2));
+        List<GHUser> collab2 = Collections.singletonList(mockUser(userIds, 3));
+        PagedIterable<GHUser> pagedCollab1 = mockPagedUsers(collab1);
+        PagedIterable<GHUser> pagedCollab2 = mockPagedUsers(collab2);
         when(repo1.listCollaborators()).thenReturn(pagedCollab1);
         when(repo2.listCollaborators()).thenReturn(pagedCollab2);
 
-        double avgCollabs = my.getAverageCollaborators();
-        assertEquals(1.5, avgCollabs, 0.01);
+        try (MockedConstruction<GHUserWrapper> ignored = mockUserWrappers(userIds)) {
+            double avgCollabs = my.getAverageCollaborators();
+            assertEquals(1.5, avgCollabs, 0.01);
 
-        // Edge case: No repos
-        my.myRepos.clear();
-        assertEquals(0.0, my.getAverageCollaborators(), 0.01);
+            // Edge case: No repos
+            my.myRepos.clear();
+            assertEquals(0.0, my.getAverageCollaborators(), 0.01);
+        }
+    }
+
+    // #7: Number of Distinct Collaborators
+    @Test
+    public void testUniqueCollaborators() throws IOException {
+        MyGithub my = new MyGithub("fakeToken");
+        my.gitHub = mock(GitHub.class);
+        my.myRepos = new HashMap<>();
+        my.collaboratorExecutor = Runnable::run;
+
+        GHRepository repo1 = mock(GHRepository.class);
+        GHRepository repo2 = mock(GHRepository.class);
+        my.myRepos.put("repo1", repo1);
+        my.myRepos.put("repo2", repo2);
+
+        // User 2 collaborates on both repos, but should only be counted once
+        Map<GHUser, Long> userIds = new HashMap<>();
+        List<GHUser> collab1 = Arrays.asList(mockUser(userIds, 1), mockUser(userIds, 2));
+        List<GHUser> collab2 = Arrays.asList(mockUser(userIds, 2), mockUser(userIds, 3));
+        PagedIterable<GHUser> pagedCollab1 = mockPagedUsers(collab1);
+        PagedIterable<GHUser> pagedCollab2 = mockPagedUsers(collab2);
+        when(repo1.listCollaborators()).thenReturn(pagedCollab1);
+        when(repo2.listCollaborators()).thenReturn(pagedCollab2);
+
+        try (MockedConstruction<GHUserWrapper> ignored = mockUserWrappers(userIds)) {
+            assertEquals(3, my.getUniqueCollaborators());
+            // Both metrics come from the same crawl
+            assertEquals(2.0, my.getAverageCollaborators(), 0.01);
+            verify(repo1, times(1)).listCollaborators();
+            verify(repo2, times(1)).listCollaborators();
+
+            // Changing the repos crawls again instead of reusing the old result
+            my.myRepos.remove("repo2");
+            assertEquals(2, my.getUniqueCollaborators());
+            assertEquals(2.0, my.getAverageCollaborators(), 0.01);
+            verify(repo1, times(2)).listCollaborators();
+        }
+    }
+
+    @Test
+    public void testUniqueCollaboratorsFailure() throws IOException {
+        MyGithub my = new MyGithub("fakeToken");
+        my.gitHub = mock(GitHub.class);
+        my.myRepos = new HashMap<>();
+        my.collaboratorExecutor = Runnable::run;
+
+        GHRepository repo1 = mock(GHRepository.class);
+        GHRepository repo2 = mock(GHRepository.class);
+        my.myRepos.put("repo1", repo1);
+        my.myRepos.put("repo2", repo2);
+
+        Map<GHUser, Long> userIds = new HashMap<>();
+        PagedIterable<GHUser> pagedCollab1 = mockPagedUsers(Collections.singletonList(mockUser(userIds, 1)));
+        PagedIterable<GHUser> pagedCollab2 = mockPagedUsers(Collections.singletonList(mockUser(userIds, 2)));
+        when(repo1.listCollaborators()).thenReturn(pagedCollab1);
+
+        // github-api reports paging failures as a GHException wrapping the IOException
+        IOException failure = new IOException("Fail 1");
+        PagedIterable<GHUser> failingCollab2 = mock(PagedIterable.class);
+        PagedIterator<GHUser> failingIterator = mock(PagedIterator.class);
+        when(failingCollab2.withPageSize(anyInt())).thenReturn(failingCollab2);
+        when(failingCollab2.iterator()).thenReturn(failingIterator);
+        when(failingIterator.hasNext()).thenThrow(new GHException("Failed to retrieve collaborators", failure));
+        when(repo2.listCollaborators()).thenReturn(failingCollab2, pagedCollab2);
+
+        try (MockedConstruction<GHUserWrapper> ignored = mockUserWrappers(userIds)) {
+            IOException thrown = assertThrows(IOException.class, my::getUniqueCollaborators);
+            assertSame(failure, thrown);
+
+            // Nothing was cached, so the next call crawls both repos again
+            assertEquals(2, my.getUniqueCollaborators());
+            verify(repo1, times(2)).listCollaborators();
+            verify(repo2, times(2)).listCollaborators();
+        }
+    }
+
+    @Test
+    public void testUniqueCollaboratorsThreadPool() throws IOException {
+        Map<GHUser, GHUserWrapper> wrappers = new HashMap<>();
+        Set<Thread> crawlThreads = ConcurrentHashMap.newKeySet();
+        // Leave collaboratorExecutor null so the real pool is used, and hand out
+        // wrappers directly since mockConstruction won't reach the pool's threads
+        MyGithub my = new MyGithub("fakeToken") {
+            @Override
+            protected GHUserWrapper newUserWrapper(GHUser user) {
+                crawlThreads.add(Thread.currentThread());
+                return wrappers.get(user);
+            }
+        };
+        my.gitHub = mock(GitHub.class);
+        my.myRepos = new HashMap<>();
+
+        // More repos than pool threads, each sharing user 0 and adding two of its own
+        final int REPOS = 20;
+        for (int r = 0; r < REPOS; r++) {
+            List<GHUser> users = Arrays.asList(
+                    mockUserWrapper(wrappers, 0),
+                    mockUserWrapper(wrappers, 1000 + 2 * r),
+                    mockUserWrapper(wrappers, 1001 + 2 * r));
+            PagedIterable<GHUser> paged = mock(PagedIterable.class);
+            PagedIterator<GHUser> pagedIterator = mockPagedIterator(users);
+            when(paged.withPageSize(anyInt())).thenReturn(paged);
+            when(paged.iterator()).thenReturn(pagedIterator);
+            GHRepository repo = mock(GHRepository.class);
+            when(repo.listCollaborators()).thenReturn(paged);
+            my.myRepos.put("repo" + r, repo);
+        }
+
+        assertEquals(1 + 2 * REPOS, my.getUniqueCollaborators());
+        assertEquals(3.0, my.getAverageCollaborators(), 0.01);
+        assertFalse(crawlThreads.isEmpty());
+        assertFalse(crawlThreads.contains(Thread.currentThread()));
+    }
+
+    private GHUser mockUser(Map<GHUser, Long> userIds, long id) {
+        GHUser user = mock(GHUser.class);
+        userIds.put(user, id);
+        return user;
+    }
+
+    private GHUser mockUserWrapper(Map<GHUser, GHUserWrapper> wrappers, long id) {
+        GHUser user = mock(GHUser.class);
+        GHUserWrapper wrapper = mock(GHUserWrapper.class);
+        when(wrapper.getId()).thenReturn(id);
+        wrappers.put(user, wrapper);
+        return user;
+    }
+
+    // Hands out a fresh iterator every time the collaborators are paged
+    private PagedIterable<GHUser> mockPagedUsers(List<GHUser> users) {
+        PagedIterable<GHUser> paged = mock(PagedIterable.class);
+        when(paged.withPageSize(anyInt())).thenReturn(paged);
+        when(paged.iterator()).thenAnswer(invocation -> mockPagedIterator(users));
+        return paged;
+    }
+
+    private PagedIterator<GHUser> mockPagedIterator(List<GHUser> users) {
+        Iterator<GHUser> iterator = users.iterator();
+        PagedIterator<GHUser> pagedIterator = mock(PagedIterator.class);
+        when(pagedIterator.hasNext()).thenAnswer(invocation -> iterator.hasNext());
+        when(pagedIterator.next()).thenAnswer(invocation -> iterator.next());
+        return pagedIterator;
+    }
+
+    // Same workaround as getIssueCreateDates: give the mock GHUserWrapper the
+    // ID of the GHUser it was constructed with instead of stubbing GHUser.getId()
+    private MockedConstruction<GHUserWrapper> mockUserWrappers(Map<GHUser, Long> userIds) {
+        return mockConstruction(
+                GHUserWrapper.class,
+                (mock, context) -> {
+                    GHUser user = (GHUser) context.arguments().get(0);
+                    assertTrue(userIds.containsKey(user));
+                    when(mock.getId()).thenReturn(userIds.get(user));
+                }
+        );
     }
 
     @Test